@@ -0,0 +1,100 @@
+package net.remgant.qif;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.NumberFormat;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Generates deterministic synthetic Bank type QIF files for the scale tests.
+ * <p>
+ * Record {@code i} depends only on the seed and {@code i}, so the expected transaction
+ * for any record can be recomputed with {@link #transaction(int)} without keeping the
+ * whole file in memory.
+ */
+class QIFGenerator {
+    enum Separator {
+        CARET("^"),
+        BLANK_LINE("");
+
+        private final String line;
+
+        Separator(String line) {
+            this.line = line;
+        }
+    }
+
+    private static final String[] PAYEES = {
+            "Payee", "AAAAA", "BBBB", "CCCC", "Grocery Store", "Electric Company",
+            "Paycheck", "Transfer", "Coffee Shop", "Gas Station"
+    };
+    // Keeps every date inside the window where a two digit year is unambiguous (1990-2089)
+    private static final long FIRST_DAY = LocalDate.of(1990, 1, 1).toEpochDay();
+    private static final long LAST_DAY = LocalDate.of(2089, 12, 31).toEpochDay();
+
+    private final long seed;
+    private final NumberFormat amountFormat = NumberFormat.getNumberInstance(Locale.US);
+
+    QIFGenerator(long seed) {
+        this.seed = seed;
+        amountFormat.setMinimumFractionDigits(2);
+        amountFormat.setMaximumFractionDigits(2);
+    }
+
+    /**
+     * The transaction the reader is expected to produce for record {@code index}.
+     */
+    Transaction transaction(int index) {
+        Random random = random(index);
+        LocalDate date = LocalDate.ofEpochDay(FIRST_DAY + (long) random.nextInt((int) (LAST_DAY - FIRST_DAY + 1)));
+        String payee = PAYEES[random.nextInt(PAYEES.length)] + " " + index;
+        long cents = random.nextInt(200_000_000) - 100_000_000L;
+        return new Transaction(date, payee, BigDecimal.valueOf(cents, 2));
+    }
+
+    void write(Writer writer, int count, Separator separator) throws IOException {
+        writer.write("!Type:Bank\n");
+        for (int i = 0; i < count; i++) {
+            Transaction transaction = transaction(i);
+            LocalDate date = transaction.getDate().orElseThrow(IllegalStateException::new);
+            writer.write('D');
+            writer.write(formatDate(date, i % 3));
+            writer.write("\nP");
+            writer.write(transaction.getPayee().orElseThrow(IllegalStateException::new));
+            writer.write("\nT");
+            writer.write(amountFormat.format(transaction.getAmount().orElseThrow(IllegalStateException::new)));
+            writer.write("\nC*\n");
+            writer.write(separator.line);
+            writer.write('\n');
+        }
+    }
+
+    void write(Path path, int count, Separator separator) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            write(writer, count, separator);
+        }
+    }
+
+    private Random random(int index) {
+        return new Random(seed * 31 + index);
+    }
+
+    // Rotates through the date forms the reader accepts: MM/dd/yyyy, M/d/yy and MM/dd'yyyy
+    private static String formatDate(LocalDate date, int style) {
+        switch (style) {
+            case 0:
+                return String.format("%02d/%02d/%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+            case 1:
+                return date.getMonthValue() + "/" + date.getDayOfMonth() + "/" + String.format("%02d", date.getYear() % 100);
+            default:
+                return String.format("%02d/%02d'%04d", date.getMonthValue(), date.getDayOfMonth(), date.getYear());
+        }
+    }
+}
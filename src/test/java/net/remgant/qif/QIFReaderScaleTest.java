@@ -0,0 +1,176 @@
+package net.remgant.qif;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the reader against large synthetic QIF files to catch quadratic behavior and
+ * memory blow-ups. These are tagged "scale" and only run with {@code ./gradlew scaleTest};
+ * the record count can be changed with {@code -Pqif.scale.records=N}.
+ */
+@Tag("scale")
+@Timeout(value = 10, unit = TimeUnit.MINUTES)
+public class QIFReaderScaleTest {
+    private static final int RECORDS = Integer.getInteger("qif.scale.records", 1_000_000);
+    private static final long SEED = 20220116L;
+    // A Transaction with its date, payee and amount is around 200 bytes; this leaves plenty
+    // of slack for GC noise while still catching anything retained per line read.
+    private static final long MAX_BYTES_PER_RECORD = 512;
+    // Four times the records should take about four times as long; quadratic would be sixteen.
+    private static final double MAX_SCALING_RATIO = 8.0;
+
+    private final QIFGenerator generator = new QIFGenerator(SEED);
+
+    @Test
+    public void testReadLargeFileFromJimfs() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path qifFile = writeFile(fileSystem.getPath("/data"), RECORDS, QIFGenerator.Separator.CARET);
+            TransactionList list = new QIFReaderTest.TestQIFReader(fileSystem).readTransactions(qifFile.toString());
+            assertMatchesGenerator(RECORDS, list);
+        }
+    }
+
+    @Test
+    public void testReadLargeFileFromDisk(@TempDir Path dir) throws IOException {
+        Path qifFile = writeFile(dir, RECORDS, QIFGenerator.Separator.CARET);
+        TransactionList list = new QIFReader().readTransactions(qifFile.toString());
+        assertMatchesGenerator(RECORDS, list);
+    }
+
+    @Test
+    public void testParsingModesAgree() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path dir = fileSystem.getPath("/data");
+            Path caretFile = writeFile(dir, RECORDS, QIFGenerator.Separator.CARET);
+            QIFReader qifReader = new QIFReaderTest.TestQIFReader(fileSystem);
+
+            long byFileName = fingerprint(qifReader.readTransactions(caretFile.toString()));
+            long byUnbufferedReader;
+            try (Reader reader = new InputStreamReader(Files.newInputStream(caretFile), StandardCharsets.UTF_8)) {
+                byUnbufferedReader = fingerprint(qifReader.readTransactions(reader));
+            }
+            Files.delete(caretFile);
+
+            Path blankLineFile = writeFile(dir, RECORDS, QIFGenerator.Separator.BLANK_LINE);
+            long byBlankLine = fingerprint(qifReader.readTransactions(blankLineFile.toString()));
+
+            assertEquals(byFileName, byUnbufferedReader);
+            assertEquals(byFileName, byBlankLine);
+            assertEquals(fingerprint(RECORDS), byFileName);
+        }
+    }
+
+    @Test
+    public void testHeapCeiling() throws IOException {
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            Path qifFile = writeFile(fileSystem.getPath("/data"), RECORDS, QIFGenerator.Separator.CARET);
+            QIFReader qifReader = new QIFReaderTest.TestQIFReader(fileSystem);
+
+            long before = usedHeap();
+            TransactionList list = qifReader.readTransactions(qifFile.toString());
+            long retained = usedHeap() - before;
+
+            assertEquals(RECORDS, list.size());
+            assertTrue(retained <= MAX_BYTES_PER_RECORD * RECORDS,
+                    "retained " + retained + " bytes for " + RECORDS + " records");
+        }
+    }
+
+    @Test
+    public void testLinearTimeScaling() throws IOException {
+        int small = RECORDS / 4;
+        try (FileSystem fileSystem = Jimfs.newFileSystem(Configuration.unix())) {
+            QIFReader qifReader = new QIFReaderTest.TestQIFReader(fileSystem);
+            Path smallFile = writeFile(fileSystem.getPath("/small"), small, QIFGenerator.Separator.CARET);
+            Path largeFile = writeFile(fileSystem.getPath("/large"), RECORDS, QIFGenerator.Separator.CARET);
+
+            // Warm up so the small run isn't measured against the interpreter
+            qifReader.readTransactions(smallFile.toString());
+
+            long smallNanos = bestTime(qifReader, smallFile, small);
+            long largeNanos = bestTime(qifReader, largeFile, RECORDS);
+            double ratio = (double) largeNanos / smallNanos;
+            assertTrue(ratio <= MAX_SCALING_RATIO,
+                    String.format("%d records took %dms, %d records took %dms (ratio %.2f)",
+                            small, TimeUnit.NANOSECONDS.toMillis(smallNanos),
+                            RECORDS, TimeUnit.NANOSECONDS.toMillis(largeNanos), ratio));
+        }
+    }
+
+    private Path writeFile(Path dir, int count, QIFGenerator.Separator separator) throws IOException {
+        Files.createDirectories(dir);
+        Path qifFile = dir.resolve("synthetic-" + separator.name().toLowerCase() + ".qif");
+        generator.write(qifFile, count, separator);
+        return qifFile;
+    }
+
+    private void assertMatchesGenerator(int count, TransactionList list) {
+        assertEquals("Bank", list.getType());
+        assertEquals(count, list.size());
+        for (int i = 0; i < count; i++) {
+            Transaction expected = generator.transaction(i);
+            Transaction actual = list.get(i);
+            assertEquals(expected.getDate(), actual.getDate(), "date of record " + i);
+            assertEquals(expected.getPayee(), actual.getPayee(), "payee of record " + i);
+            assertTrue(actual.getAmount().isPresent(), "amount of record " + i);
+            assertEquals(0, expected.getAmount().get().compareTo(actual.getAmount().get()),
+                    "amount of record " + i + ": " + actual.getAmount().get());
+        }
+    }
+
+    private long fingerprint(TransactionList list) {
+        long hash = list.size();
+        for (Transaction transaction : list)
+            hash = 31 * hash + fingerprint(transaction);
+        return hash;
+    }
+
+    private long fingerprint(int count) {
+        long hash = count;
+        for (int i = 0; i < count; i++)
+            hash = 31 * hash + fingerprint(generator.transaction(i));
+        return hash;
+    }
+
+    // The reader's amount scale depends on the text (123.50 comes back as 123.5), so strip
+    // trailing zeros to compare by value.
+    private static long fingerprint(Transaction transaction) {
+        long hash = transaction.getDate().hashCode();
+        hash = 31 * hash + transaction.getPayee().hashCode();
+        hash = 31 * hash + transaction.getAmount().map(a -> a.stripTrailingZeros().hashCode()).orElse(0);
+        return hash;
+    }
+
+    private static long bestTime(QIFReader qifReader, Path qifFile, int count) throws IOException {
+        long best = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            long start = System.nanoTime();
+            TransactionList list = qifReader.readTransactions(qifFile.toString());
+            best = Math.min(best, System.nanoTime() - start);
+            assertEquals(count, list.size());
+        }
+        return best;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}